@@ -15,11 +15,13 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.questglobal.student.dto.StudentDTO;
+import com.questglobal.student.service.IdempotencyService;
 import com.questglobal.student.service.StudentService;
 
 import jakarta.validation.Valid;
@@ -33,19 +35,33 @@ public class StudentController {
 	@Autowired
 	private StudentService studentService;
 
+	@Autowired
+	private IdempotencyService idempotencyService;
+
 	/**
 	 * Register a new student.
 	 * <p>
 	 * POST /student/register
 	 * </p>
 	 *
-	 * @param studentDTO the student information to be registered
+	 * <p>
+	 * When an {@code Idempotency-Key} header is sent, retries with the same key
+	 * replay the original response instead of registering the student again.
+	 * </p>
+	 *
+	 * @param studentDTO     the student information to be registered
+	 * @param idempotencyKey optional client-generated key identifying the request
 	 * @return ResponseEntity containing the saved StudentDTO object
 	 */
 	@PostMapping(value = "/register", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
-	public ResponseEntity<?> registerStudent(@RequestBody @Valid StudentDTO studentDTO) {
+	public ResponseEntity<?> registerStudent(@RequestBody @Valid StudentDTO studentDTO,
+			@RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
 		logger.info("Registering student with name: {}", studentDTO.getName());
-		return studentService.registerStudent(studentDTO);
+		if (idempotencyKey == null) {
+			return studentService.registerStudent(studentDTO);
+		}
+		return idempotencyService.execute("register:" + idempotencyKey, studentDTO,
+				() -> studentService.registerStudent(studentDTO));
 	}
 
 	/**
@@ -97,6 +113,21 @@ public class StudentController {
 		return studentService.deleteStudent(id);
 	}
 
+	/**
+	 * Delete all students of a class.
+	 * <p>
+	 * DELETE /student?class={studentClass}
+	 * </p>
+	 *
+	 * @param studentClass the class whose students should be deleted
+	 * @return ResponseEntity containing the number of deleted students
+	 */
+	@DeleteMapping
+	public ResponseEntity<?> deleteStudentsByClass(@RequestParam("class") String studentClass) {
+		logger.info("Deleting students of class: {}", studentClass);
+		return studentService.deleteStudentsByClass(studentClass);
+	}
+
 	/**
 	 * Get all students.
 	 * <p>
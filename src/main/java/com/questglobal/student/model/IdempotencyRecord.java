@@ -0,0 +1,40 @@
+package com.questglobal.student.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import lombok.Data;
+
+@Data
+@Entity
+public class IdempotencyRecord {
+
+    public static final int MAX_KEY_LENGTH = 255;
+
+    public enum State {
+        PENDING, // The original request is still in flight
+        COMPLETED, // The response is stored and is replayed to retries
+        FAILED // The request succeeded but its response could not be stored
+    }
+
+    @Id
+    @Column(length = MAX_KEY_LENGTH)
+    private String idempotencyKey;
+    private String requestHash; // SHA-256 of the request body the key was first used with
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private State state;
+    private String claimToken; // Identifies the request that currently owns a pending row
+    private Instant claimedAt; // Start of the owner's lease; stale pending rows may be taken over
+    private int statusCode;
+
+    @Lob
+    private String responseBody; // Serialized JSON body of the original response
+    private Instant createdAt;
+}
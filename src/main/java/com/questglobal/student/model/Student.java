@@ -1,7 +1,11 @@
 package com.questglobal.student.model;
 
+import java.time.Instant;
 import java.util.List;
 
+import org.hibernate.annotations.SQLRestriction;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 
 import jakarta.persistence.CascadeType;
@@ -15,6 +19,7 @@ import lombok.Data;
 
 @Data
 @Entity
+@SQLRestriction("deleted = false") // Soft-deleted students are hidden from all entity reads
 public class Student {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -26,6 +31,12 @@ public class Student {
     @OneToMany(mappedBy = "student", cascade = CascadeType.ALL, fetch = FetchType.EAGER)
     @JsonManagedReference
     private List<Address> addresses; // One student can have many addresses
-    
+
+    @JsonIgnore
+    private boolean deleted;
+
+    @JsonIgnore
+    private Instant deletedAt; // Used by the purger to pick rows old enough to archive
+
     
 }
@@ -1,9 +1,17 @@
 package com.questglobal.student.repository;
 
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.questglobal.student.model.Address;
 
 public interface AddressRepository extends JpaRepository<Address, Long> {
-	
+
+	@Modifying
+	@Query(value = "DELETE FROM address WHERE student_id IN (:studentIds)", nativeQuery = true)
+	int deleteByStudentIds(@Param("studentIds") List<Long> studentIds);
 }
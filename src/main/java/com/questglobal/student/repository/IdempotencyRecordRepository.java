@@ -0,0 +1,90 @@
+package com.questglobal.student.repository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.questglobal.student.model.IdempotencyRecord;
+import com.questglobal.student.model.IdempotencyRecord.State;
+
+/**
+ * Repository for persisted Idempotency-Key records. Updates of a pending row
+ * are fenced by its claim token, so a request whose lease was taken over
+ * cannot overwrite the new owner's row.
+ */
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+	/**
+	 * Read-only view of a record. Being a projection, it is always read from the
+	 * database rather than from the persistence context, which matters when
+	 * polling for a record completed by another instance.
+	 */
+	interface RecordView {
+		String getRequestHash();
+
+		State getState();
+
+		Instant getClaimedAt();
+
+		int getStatusCode();
+
+		String getResponseBody();
+
+		Instant getCreatedAt();
+	}
+
+	Optional<RecordView> findViewByIdempotencyKey(String idempotencyKey);
+
+	// Plain insert, so an existing key fails with a duplicate key error instead of being merged
+	@Transactional
+	@Modifying
+	@Query(value = "INSERT INTO idempotency_record (idempotency_key, request_hash, state, claim_token, claimed_at, "
+			+ "status_code, created_at) VALUES (:key, :requestHash, 'PENDING', :claimToken, :now, 0, :now)",
+			nativeQuery = true)
+	int insertPending(@Param("key") String key, @Param("requestHash") String requestHash,
+			@Param("claimToken") String claimToken, @Param("now") Instant now);
+
+	// Takes over a pending row whose owner has not finished within its lease
+	@Transactional
+	@Modifying
+	@Query(value = "UPDATE idempotency_record SET claim_token = :claimToken, claimed_at = :now "
+			+ "WHERE idempotency_key = :key AND request_hash = :requestHash AND state = 'PENDING' "
+			+ "AND claimed_at < :staleBefore", nativeQuery = true)
+	int takeOverStale(@Param("key") String key, @Param("requestHash") String requestHash,
+			@Param("claimToken") String claimToken, @Param("now") Instant now,
+			@Param("staleBefore") Instant staleBefore);
+
+	@Transactional
+	@Modifying
+	@Query(value = "UPDATE idempotency_record SET state = 'COMPLETED', status_code = :statusCode, "
+			+ "response_body = :responseBody WHERE idempotency_key = :key AND claim_token = :claimToken "
+			+ "AND state = 'PENDING'", nativeQuery = true)
+	int complete(@Param("key") String key, @Param("claimToken") String claimToken,
+			@Param("statusCode") int statusCode, @Param("responseBody") String responseBody);
+
+	@Transactional
+	@Modifying
+	@Query(value = "UPDATE idempotency_record SET state = 'FAILED' WHERE idempotency_key = :key "
+			+ "AND claim_token = :claimToken AND state = 'PENDING'", nativeQuery = true)
+	int markFailed(@Param("key") String key, @Param("claimToken") String claimToken);
+
+	@Transactional
+	@Modifying
+	@Query(value = "DELETE FROM idempotency_record WHERE idempotency_key = :key AND claim_token = :claimToken "
+			+ "AND state = 'PENDING'", nativeQuery = true)
+	int deletePending(@Param("key") String key, @Param("claimToken") String claimToken);
+
+	@Transactional
+	@Modifying
+	@Query("DELETE FROM IdempotencyRecord r WHERE r.idempotencyKey = :key AND r.createdAt < :cutoff")
+	int deleteExpired(@Param("key") String key, @Param("cutoff") Instant cutoff);
+
+	@Modifying
+	@Query("DELETE FROM IdempotencyRecord r WHERE r.createdAt < :cutoff")
+	int deleteCreatedBefore(@Param("cutoff") Instant cutoff);
+}
@@ -0,0 +1,223 @@
+package com.questglobal.student.repository;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.List;
+import java.util.TimeZone;
+
+import javax.sql.DataSource;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Read-only repository that writes student list responses as JSON directly
+ * from JDBC result rows.
+ * <p>
+ * Rows of the student/address join are written field by field through a
+ * Jackson {@link JsonGenerator}, so no {@code Student}, {@code StudentDTO} or
+ * {@code AddressDTO} instances are created for list endpoints. Numeric columns
+ * are read and written as primitives, and the generator reuses Jackson's
+ * recycled per-thread buffers. The JSON layout is identical to a serialized
+ * list of {@code StudentDTO}.
+ * </p>
+ * <p>
+ * Callers should write into a {@code JsonResponseBuffer} rather than the
+ * servlet response, so the JDBC connection is released before a slow
+ * client reads the body.
+ * </p>
+ */
+@Repository
+public class StudentJsonStreamRepository {
+
+	private static final String SELECT_COLUMNS = "SELECT s.id, s.name, s.student_class, s.age, "
+			+ "a.id AS address_id, a.flat_no, a.city, a.state ";
+
+	private static final String FIND_ALL_SQL = SELECT_COLUMNS
+			+ "FROM student s LEFT JOIN address a ON a.student_id = s.id "
+			+ "WHERE s.deleted = false ORDER BY s.id, a.id";
+
+	// The page is applied to students in a derived table so that the join
+	// with addresses does not change the number of students per page.
+	private static final String FIND_BY_CLASS_SQL = SELECT_COLUMNS
+			+ "FROM (SELECT id, name, student_class, age FROM student WHERE student_class = ? "
+			+ "AND deleted = false ORDER BY id LIMIT ? OFFSET ?) s LEFT JOIN address a ON a.student_id = s.id "
+			+ "ORDER BY s.id, a.id";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	private final JsonFactory jsonFactory;
+
+	/**
+	 * @param dataSource   data source used for the queries
+	 * @param objectMapper application object mapper, whose factory is shared
+	 */
+	public StudentJsonStreamRepository(DataSource dataSource, ObjectMapper objectMapper) {
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+		this.jsonFactory = objectMapper.getFactory();
+	}
+
+	/**
+	 * Writes all students with their addresses as a JSON array.
+	 *
+	 * @param out stream to write to; it is flushed but not closed
+	 * @throws IOException if writing to the stream fails
+	 */
+	public void writeAllStudents(OutputStream out) throws IOException {
+		write(out, FIND_ALL_SQL);
+	}
+
+	/**
+	 * Writes one page of students of the given class as a JSON array.
+	 *
+	 * @param studentClass class by which students are filtered
+	 * @param pageable     page number and size
+	 * @param out          stream to write to; it is flushed but not closed
+	 * @throws IOException if writing to the stream fails
+	 */
+	public void writeStudentsByClass(String studentClass, Pageable pageable, OutputStream out) throws IOException {
+		write(out, FIND_BY_CLASS_SQL, studentClass, pageable.getPageSize(), pageable.getOffset());
+	}
+
+	/**
+	 * Writes the given students as a JSON array, including soft-deleted ones
+	 * and their {@code deletedAt} time. Used to archive students before they
+	 * are purged.
+	 *
+	 * @param ids IDs of the students to write
+	 * @param out stream to write to; it is flushed but not closed
+	 * @throws IOException if writing to the stream fails
+	 */
+	public void writeStudentsByIds(List<Long> ids, OutputStream out) throws IOException {
+		String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+		write(out, true, SELECT_COLUMNS + ", s.deleted_at FROM student s LEFT JOIN address a ON a.student_id = s.id "
+				+ "WHERE s.id IN (" + placeholders + ") ORDER BY s.id, a.id", ids.toArray());
+	}
+
+	private void write(OutputStream out, String sql, Object... args) throws IOException {
+		write(out, false, sql, args);
+	}
+
+	private void write(OutputStream out, boolean includeDeletedAt, String sql, Object... args) throws IOException {
+		try (JsonGenerator generator = jsonFactory.createGenerator(out, JsonEncoding.UTF8)) {
+			generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+			generator.writeStartArray();
+			StudentRowWriter rowWriter = new StudentRowWriter(generator, includeDeletedAt);
+			try {
+				jdbcTemplate.query(sql, rowWriter, args);
+			} catch (UncheckedIOException e) {
+				throw e.getCause();
+			}
+			rowWriter.finish();
+			generator.writeEndArray();
+		}
+	}
+
+	/**
+	 * Writes joined rows ordered by student ID, opening a new student object
+	 * whenever the student ID changes.
+	 */
+	static final class StudentRowWriter implements RowCallbackHandler {
+
+		private final JsonGenerator generator;
+
+		// Column 9 holds deleted_at when archiving soft-deleted students
+		private final boolean includeDeletedAt;
+
+		// Hibernate writes Instant columns in UTC, so they are read back the same way
+		// rather than in the JVM's default time zone
+		private final Calendar utcCalendar;
+
+		private boolean studentOpen;
+
+		private long currentStudentId;
+
+		StudentRowWriter(JsonGenerator generator) {
+			this(generator, false);
+		}
+
+		StudentRowWriter(JsonGenerator generator, boolean includeDeletedAt) {
+			this.generator = generator;
+			this.includeDeletedAt = includeDeletedAt;
+			this.utcCalendar = includeDeletedAt
+					? new Calendar.Builder().setTimeZone(TimeZone.getTimeZone("UTC")).setInstant(0).build()
+					: null;
+		}
+
+		@Override
+		public void processRow(ResultSet rs) throws SQLException {
+			try {
+				long studentId = rs.getLong(1);
+				if (!isCurrentStudent(studentId)) {
+					Timestamp deletedAt = includeDeletedAt ? rs.getTimestamp(9, utcCalendar) : null;
+					startStudent(studentId, rs.getString(2), rs.getString(3), rs.getInt(4),
+							deletedAt != null ? deletedAt.toInstant() : null);
+				}
+				rs.getLong(5);
+				if (!rs.wasNull()) {
+					writeAddress(rs.getString(6), rs.getString(7), rs.getString(8));
+				}
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+
+		boolean isCurrentStudent(long studentId) {
+			return studentOpen && studentId == currentStudentId;
+		}
+
+		/**
+		 * Closes the previous student, if any, and opens a new one whose
+		 * addresses follow. {@code deletedAt} is only written when archiving.
+		 */
+		void startStudent(long studentId, String name, String studentClass, int age, Instant deletedAt)
+				throws IOException {
+			closeStudent();
+			generator.writeStartObject();
+			generator.writeNumberField("id", studentId);
+			generator.writeStringField("name", name);
+			generator.writeStringField("studentClass", studentClass);
+			generator.writeNumberField("age", age);
+			if (includeDeletedAt) {
+				generator.writeStringField("deletedAt", deletedAt != null ? deletedAt.toString() : null);
+			}
+			generator.writeArrayFieldStart("addresses");
+			studentOpen = true;
+			currentStudentId = studentId;
+		}
+
+		void writeAddress(String flatNo, String city, String state) throws IOException {
+			generator.writeStartObject();
+			generator.writeStringField("flatNo", flatNo);
+			generator.writeStringField("city", city);
+			generator.writeStringField("state", state);
+			generator.writeEndObject();
+		}
+
+		void finish() throws IOException {
+			closeStudent();
+		}
+
+		private void closeStudent() throws IOException {
+			if (studentOpen) {
+				generator.writeEndArray();
+				generator.writeEndObject();
+				studentOpen = false;
+			}
+		}
+	}
+}
@@ -1,12 +1,16 @@
 package com.questglobal.student.repository;
 
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.questglobal.student.model.Student;
 
@@ -15,4 +19,22 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
 	
 	Page<Student> findByStudentClass(String studentClass, Pageable pageable);
     List<Student> findByStudentClass(String studentClass);
+
+	@Modifying
+	@Query("UPDATE Student s SET s.deleted = true, s.deletedAt = :deletedAt WHERE s.id = :id AND s.deleted = false")
+	int softDeleteById(@Param("id") Long id, @Param("deletedAt") Instant deletedAt);
+
+	@Modifying
+	@Query("UPDATE Student s SET s.deleted = true, s.deletedAt = :deletedAt WHERE s.studentClass = :studentClass AND s.deleted = false")
+	int softDeleteByStudentClass(@Param("studentClass") String studentClass, @Param("deletedAt") Instant deletedAt);
+
+	// Native queries, because the entity restriction hides soft-deleted rows
+	// Locks the batch and skips rows locked by a purge running on another instance
+	@Query(value = "SELECT id FROM student WHERE deleted = true AND deleted_at < :cutoff ORDER BY id LIMIT :limit "
+			+ "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+	List<Long> findSoftDeletedIdsBefore(@Param("cutoff") Instant cutoff, @Param("limit") int limit);
+
+	@Modifying
+	@Query(value = "DELETE FROM student WHERE id IN (:ids) AND deleted = true", nativeQuery = true)
+	int purgeByIds(@Param("ids") List<Long> ids);
 }
@@ -0,0 +1,106 @@
+package com.questglobal.student.response;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * In-memory buffer for a JSON response body, held as a chain of fixed-size
+ * chunks with a hard size limit.
+ * <p>
+ * Chunks are taken from a {@link JsonResponseBufferPool} as the body grows
+ * and handed back by {@link #release()}, so a large response reuses pooled
+ * chunks instead of growing and copying one contiguous array. Writing past
+ * the limit fails with an {@link IOException} instead of growing without
+ * bound.
+ * </p>
+ */
+public class JsonResponseBuffer extends OutputStream {
+
+    private final JsonResponseBufferPool pool;
+
+    private final int maxSize;
+
+    private final List<byte[]> chunks = new ArrayList<>();
+
+    private byte[] current;
+
+    // Bytes used in the current (last) chunk
+    private int position;
+
+    private int size;
+
+    JsonResponseBuffer(JsonResponseBufferPool pool, int maxSize) {
+        this.pool = pool;
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureRoom(1);
+        if (current == null || position == current.length) {
+            nextChunk();
+        }
+        current[position++] = (byte) b;
+        size++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureRoom(len);
+        while (len > 0) {
+            if (current == null || position == current.length) {
+                nextChunk();
+            }
+            int n = Math.min(len, current.length - position);
+            System.arraycopy(b, off, current, position, n);
+            position += n;
+            off += n;
+            len -= n;
+            size += n;
+        }
+    }
+
+    /**
+     * Copies the buffered bytes to the given stream, one chunk at a time.
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        int last = chunks.size() - 1;
+        for (int i = 0; i < last; i++) {
+            byte[] chunk = chunks.get(i);
+            out.write(chunk, 0, chunk.length);
+        }
+        if (last >= 0) {
+            out.write(current, 0, position);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns all chunks to the pool and empties the buffer. The buffer must
+     * not be written to or read from afterwards.
+     */
+    public void release() {
+        pool.releaseChunks(chunks);
+        chunks.clear();
+        current = null;
+        position = 0;
+        size = 0;
+    }
+
+    private void ensureRoom(int len) throws IOException {
+        if (len > maxSize - size) {
+            throw new IOException("JSON response exceeds the maximum buffer size of " + maxSize + " bytes");
+        }
+    }
+
+    private void nextChunk() {
+        current = pool.takeChunk();
+        chunks.add(current);
+        position = 0;
+    }
+}
@@ -0,0 +1,58 @@
+package com.questglobal.student.response;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes a filled {@link JsonResponseBuffer} as an {@code application/json}
+ * body with an exact Content-Length, on the request thread, and then returns
+ * its chunks to the pool.
+ * <p>
+ * Spring Boot registers {@code HttpMessageConverter} beans ahead of the
+ * default converters, so a controller can simply return the buffer as the
+ * body of a {@code ResponseEntity}.
+ * </p>
+ */
+@Component
+public class JsonResponseBufferHttpMessageConverter extends AbstractHttpMessageConverter<JsonResponseBuffer> {
+
+    public JsonResponseBufferHttpMessageConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return JsonResponseBuffer.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected JsonResponseBuffer readInternal(Class<? extends JsonResponseBuffer> clazz, HttpInputMessage inputMessage)
+            throws HttpMessageNotReadableException {
+        throw new HttpMessageNotReadableException("JsonResponseBuffer is write-only", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(JsonResponseBuffer buffer, MediaType contentType) {
+        return (long) buffer.size();
+    }
+
+    @Override
+    protected void writeInternal(JsonResponseBuffer buffer, HttpOutputMessage outputMessage) throws IOException {
+        try {
+            buffer.writeTo(outputMessage.getBody());
+        } finally {
+            buffer.release();
+        }
+    }
+}
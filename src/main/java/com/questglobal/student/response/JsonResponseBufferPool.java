@@ -0,0 +1,52 @@
+package com.questglobal.student.response;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded pool of fixed-size chunks backing {@link JsonResponseBuffer}.
+ * <p>
+ * Buffers themselves are cheap and created per response; only their chunks
+ * are pooled. Taking a chunk never blocks: when the pool is empty a new one
+ * is allocated. Released chunks are kept only while the pool has room, so
+ * the retained memory is at most {@code pool-chunks * chunk-bytes}.
+ * </p>
+ */
+@Component
+public class JsonResponseBufferPool {
+
+    private final BlockingQueue<byte[]> chunks;
+
+    private final int chunkSize;
+
+    private final int maxSize;
+
+    public JsonResponseBufferPool(@Value("${student.stream.buffer-pool-chunks:256}") int poolChunks,
+            @Value("${student.stream.buffer-chunk-bytes:16384}") int chunkSize,
+            @Value("${student.stream.buffer-max-bytes:67108864}") int maxSize) {
+        this.chunks = new ArrayBlockingQueue<>(poolChunks);
+        this.chunkSize = chunkSize;
+        this.maxSize = maxSize;
+    }
+
+    public JsonResponseBuffer acquire() {
+        return new JsonResponseBuffer(this, maxSize);
+    }
+
+    byte[] takeChunk() {
+        byte[] chunk = chunks.poll();
+        return chunk != null ? chunk : new byte[chunkSize];
+    }
+
+    void releaseChunks(List<byte[]> used) {
+        for (byte[] chunk : used) {
+            if (!chunks.offer(chunk)) {
+                break;
+            }
+        }
+    }
+}
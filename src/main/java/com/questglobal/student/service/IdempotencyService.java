@@ -0,0 +1,44 @@
+package com.questglobal.student.service;
+
+import java.util.function.Supplier;
+
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Service interface for executing write operations at most once per
+ * client-supplied idempotency key.
+ * <p>
+ * The first request with a given key runs the operation and its response is
+ * kept for a limited time. Repeated requests with the same key get the
+ * original response back, and concurrent duplicates wait for the in-flight
+ * request instead of running the operation again.
+ * </p>
+ */
+public interface IdempotencyService {
+
+    /**
+     * Name of the request header carrying the idempotency key.
+     */
+    String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    /**
+     * Name of the response header set on replayed responses.
+     */
+    String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
+    /**
+     * Runs the given operation unless a response for the key is already
+     * stored or in flight, in which case that response is returned.
+     * Only successful (2xx) responses are kept, so a failed request can be
+     * retried with the same key. Reusing a key with a different request is
+     * rejected with 422.
+     *
+     * @param key     the idempotency key as stored, including any prefix added
+     *                by the caller; keys longer than 255 characters are
+     *                rejected with 400
+     * @param request the request body, whose hash is bound to the key
+     * @param action  the operation to run for the first request with the key
+     * @return the response of the operation, or the replayed original response
+     */
+    ResponseEntity<?> execute(String key, Object request, Supplier<ResponseEntity<?>> action);
+}
@@ -0,0 +1,20 @@
+package com.questglobal.student.service;
+
+/**
+ * Service interface for permanently removing soft-deleted students.
+ * <p>
+ * Soft-deleted students are archived to compressed files and then
+ * hard-deleted together with their addresses in bounded batches, so that
+ * large deletions never run inside a client request.
+ * </p>
+ */
+public interface StudentPurgeService {
+
+    /**
+     * Archives and hard-deletes soft-deleted students in batches until none are
+     * left or the configured purge window has elapsed.
+     *
+     * @return the number of students purged
+     */
+    int purgeDeletedStudents();
+}
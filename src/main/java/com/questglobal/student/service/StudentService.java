@@ -63,13 +63,23 @@ public interface StudentService {
 
     /**
      * Deletes a student by their ID.
-     * This method deletes the student with the specified ID from the database.
+     * This method marks the student with the specified ID as deleted; the row is
+     * archived and removed from the database later by the background purger.
      *
      * @param id the ID of the student to be deleted
      * @throws StudentNotFoundException if the student with the specified ID is not found
      */
     ResponseEntity<?> deleteStudent(Long id);
 
+    /**
+     * Deletes all students of a class.
+     * The students are soft deleted and removed later by the background purger.
+     *
+     * @param studentClass the class whose students should be deleted
+     * @return the number of students deleted
+     */
+    ResponseEntity<?> deleteStudentsByClass(String studentClass);
+
     /**
      * Updates an existing student's information.
      * This method updates the student with the specified ID using the provided StudentDTO.
@@ -0,0 +1,367 @@
+package com.questglobal.student.service.impl;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.questglobal.student.model.IdempotencyRecord;
+import com.questglobal.student.model.IdempotencyRecord.State;
+import com.questglobal.student.repository.IdempotencyRecordRepository;
+import com.questglobal.student.repository.IdempotencyRecordRepository.RecordView;
+import com.questglobal.student.service.IdempotencyService;
+
+/**
+ * Implementation of IdempotencyService backed by a bounded in-memory store
+ * with TTL eviction, and optionally by the {@code idempotency_record} table.
+ * <p>
+ * The in-memory store coalesces concurrent duplicates on one instance: the
+ * first request registers an in-flight entry and the others wait on it. If
+ * the original request fails, the waiters run the operation themselves
+ * instead of receiving a failure that was never stored.
+ * </p>
+ * <p>
+ * When {@code student.idempotency.persistent} is enabled, the key is first
+ * claimed in the database with a plain insert of a pending row. A duplicate
+ * key error means the request is in flight or done on another instance, so
+ * the request polls that row until it is completed or released. Successful
+ * responses are stored in the row and replayed from it.
+ * </p>
+ * <p>
+ * A pending row carries a lease as long as the wait timeout. If its owner
+ * crashed, a retry takes the row over once the lease has run out instead of
+ * waiting for the TTL. If the action succeeded but its response could not
+ * be stored, the row is marked failed rather than released, so the
+ * operation is not repeated.
+ * </p>
+ */
+@Service
+public class IdempotencyServiceImpl extends BaseService implements IdempotencyService {
+
+	private static final Logger logger = LoggerFactory.getLogger(IdempotencyServiceImpl.class);
+
+	@Autowired
+	private IdempotencyRecordRepository idempotencyRecordRepository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Value("${student.idempotency.ttl:24h}")
+	private Duration ttl;
+
+	@Value("${student.idempotency.max-entries:10000}")
+	private int maxEntries;
+
+	@Value("${student.idempotency.wait-timeout:30s}")
+	private Duration waitTimeout;
+
+	@Value("${student.idempotency.poll-interval:200ms}")
+	private Duration pollInterval;
+
+	@Value("${student.idempotency.persistent:false}")
+	private boolean persistent;
+
+	private Clock clock = Clock.systemUTC();
+
+	// Insertion order equals expiry order because all entries share one TTL
+	private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+	@Override
+	public ResponseEntity<?> execute(String key, Object request, Supplier<ResponseEntity<?>> action) {
+		// The key is stored as given, including any prefix added by the caller
+		if (key.isBlank() || key.length() > IdempotencyRecord.MAX_KEY_LENGTH) {
+			return createErrorResponse(HttpStatus.BAD_REQUEST, "Invalid Idempotency-Key", "INVALID_IDEMPOTENCY_KEY");
+		}
+		String requestHash = hash(request);
+		Instant deadline = clock.instant().plus(waitTimeout);
+
+		while (true) {
+			Instant now = clock.instant();
+			Entry entry = new Entry(now, requestHash);
+			Entry existing;
+			synchronized (entries) {
+				evictExpired(now);
+				existing = entries.get(key);
+				if (existing == null) {
+					evictOldest();
+					entries.put(key, entry);
+				}
+			}
+			if (existing == null) {
+				return runClaimed(key, entry, deadline, action);
+			}
+			if (!existing.requestHash.equals(requestHash)) {
+				return createKeyReusedResponse(key);
+			}
+
+			ResponseEntity<?> original;
+			try {
+				original = existing.response.get(millisUntil(deadline), TimeUnit.MILLISECONDS);
+			} catch (TimeoutException e) {
+				return createInProgressResponse();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return createErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, "Interrupted while waiting for original request",
+						"IDEMPOTENCY_INTERRUPTED");
+			} catch (ExecutionException e) {
+				original = null;
+			}
+			if (original != null) {
+				logger.info("Replaying response for Idempotency-Key: {}", key);
+				return createReplayResponse(original);
+			}
+			// The original request failed and stored nothing, so try to claim the key again
+			logger.info("Original request failed for Idempotency-Key {}, retrying", key);
+		}
+	}
+
+	/**
+	 * Deletes persisted responses that are older than the TTL.
+	 */
+	@Scheduled(fixedDelayString = "${student.idempotency.purge-interval-ms:3600000}")
+	@Transactional
+	public void purgeExpiredRecords() {
+		if (!persistent) {
+			return;
+		}
+		int deleted = idempotencyRecordRepository.deleteCreatedBefore(clock.instant().minus(ttl));
+		logger.debug("Purged {} expired idempotency records", deleted);
+	}
+
+	/**
+	 * Runs the request that owns the in-memory entry. Only a 2xx response
+	 * completes the entry; anything else removes it so waiters retry.
+	 */
+	private ResponseEntity<?> runClaimed(String key, Entry entry, Instant deadline, Supplier<ResponseEntity<?>> action) {
+		ResponseEntity<?> response = null;
+		try {
+			response = persistent ? runWithRecord(key, entry.requestHash, deadline, action) : action.get();
+			return response;
+		} finally {
+			if (response != null && response.getStatusCode().is2xxSuccessful()) {
+				entry.response.complete(response);
+			} else {
+				remove(key, entry);
+				entry.response.complete(null);
+			}
+		}
+	}
+
+	private ResponseEntity<?> runWithRecord(String key, String requestHash, Instant deadline,
+			Supplier<ResponseEntity<?>> action) {
+		String claimToken = UUID.randomUUID().toString();
+		while (!claim(key, requestHash, claimToken)) {
+			Instant now = clock.instant();
+			Optional<RecordView> record = idempotencyRecordRepository.findViewByIdempotencyKey(key);
+			if (record.isPresent()) {
+				RecordView view = record.get();
+				if (view.getCreatedAt().isBefore(now.minus(ttl))) {
+					idempotencyRecordRepository.deleteExpired(key, now.minus(ttl));
+					continue;
+				}
+				if (!view.getRequestHash().equals(requestHash)) {
+					return createKeyReusedResponse(key);
+				}
+				if (view.getState() == State.COMPLETED) {
+					logger.info("Replaying stored response for Idempotency-Key: {}", key);
+					return ResponseEntity.status(view.getStatusCode()).contentType(MediaType.APPLICATION_JSON)
+							.header(IDEMPOTENT_REPLAYED_HEADER, "true").body(view.getResponseBody());
+				}
+				if (view.getState() == State.FAILED) {
+					return createResponseUnavailableResponse();
+				}
+				Instant staleBefore = now.minus(waitTimeout);
+				if (view.getClaimedAt().isBefore(staleBefore)
+						&& idempotencyRecordRepository.takeOverStale(key, requestHash, claimToken, now, staleBefore) == 1) {
+					logger.warn("Took over stale pending Idempotency-Key {}", key);
+					break;
+				}
+			}
+			if (!now.isBefore(deadline)) {
+				return createInProgressResponse();
+			}
+			try {
+				Thread.sleep(pollInterval.toMillis());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return createErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, "Interrupted while waiting for original request",
+						"IDEMPOTENCY_INTERRUPTED");
+			}
+		}
+
+		ResponseEntity<?> response;
+		try {
+			response = action.get();
+		} catch (RuntimeException e) {
+			idempotencyRecordRepository.deletePending(key, claimToken);
+			throw e;
+		}
+		if (!response.getStatusCode().is2xxSuccessful()) {
+			idempotencyRecordRepository.deletePending(key, claimToken);
+			return response;
+		}
+		try {
+			if (idempotencyRecordRepository.complete(key, claimToken, response.getStatusCode().value(),
+					objectMapper.writeValueAsString(response.getBody())) == 0) {
+				logger.warn("Pending Idempotency-Key {} was taken over before its response was stored", key);
+			}
+		} catch (Exception e) {
+			// Keep the key claimed, since releasing it would let a retry repeat the operation
+			logger.error("Error persisting response for Idempotency-Key {}: {}", key, e.getMessage());
+			markFailed(key, claimToken);
+		}
+		return response;
+	}
+
+	/**
+	 * Inserts a pending row for the key. Returns false if the key already has
+	 * a row; any other integrity error is rethrown.
+	 */
+	private boolean claim(String key, String requestHash, String claimToken) {
+		try {
+			idempotencyRecordRepository.insertPending(key, requestHash, claimToken, clock.instant());
+			return true;
+		} catch (DataIntegrityViolationException e) {
+			if (!isDuplicateKey(e)) {
+				throw e;
+			}
+			return false;
+		}
+	}
+
+	private void markFailed(String key, String claimToken) {
+		try {
+			idempotencyRecordRepository.markFailed(key, claimToken);
+		} catch (Exception e) {
+			logger.error("Error marking Idempotency-Key {} as failed: {}", key, e.getMessage());
+		}
+	}
+
+	// JPA repositories translate every constraint violation to DataIntegrityViolationException,
+	// so check the SQL state (standard unique violation) or MySQL's duplicate entry code
+	private static boolean isDuplicateKey(DataIntegrityViolationException e) {
+		if (e instanceof DuplicateKeyException) {
+			return true;
+		}
+		return e.getMostSpecificCause() instanceof SQLException sqlException
+				&& ("23505".equals(sqlException.getSQLState()) || sqlException.getErrorCode() == 1062);
+	}
+
+	private ResponseEntity<?> createReplayResponse(ResponseEntity<?> original) {
+		return ResponseEntity.status(original.getStatusCode()).headers(original.getHeaders())
+				.headers(headers -> headers.set(IDEMPOTENT_REPLAYED_HEADER, "true")).body(original.getBody());
+	}
+
+	private ResponseEntity<?> createKeyReusedResponse(String key) {
+		logger.warn("Idempotency-Key {} reused with a different request", key);
+		return createErrorResponse(HttpStatus.UNPROCESSABLE_ENTITY,
+				"Idempotency-Key was already used with a different request", "IDEMPOTENCY_KEY_REUSED");
+	}
+
+	private ResponseEntity<?> createResponseUnavailableResponse() {
+		return createErrorResponse(HttpStatus.CONFLICT,
+				"Request with this Idempotency-Key succeeded but its response could not be stored",
+				"IDEMPOTENCY_RESPONSE_UNAVAILABLE");
+	}
+
+	private ResponseEntity<?> createInProgressResponse() {
+		return createErrorResponse(HttpStatus.CONFLICT, "Request with this Idempotency-Key is still in progress",
+				"IDEMPOTENCY_IN_PROGRESS");
+	}
+
+	private String hash(Object request) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+			return HexFormat.of().formatHex(digest);
+		} catch (JsonProcessingException | NoSuchAlgorithmException e) {
+			throw new IllegalStateException("Error hashing request for Idempotency-Key", e);
+		}
+	}
+
+	private long millisUntil(Instant deadline) {
+		return Math.max(0, Duration.between(clock.instant(), deadline).toMillis());
+	}
+
+	private void remove(String key, Entry entry) {
+		synchronized (entries) {
+			entries.remove(key, entry);
+		}
+	}
+
+	/**
+	 * Removes expired entries whose request has finished. Must be called
+	 * while holding the lock on {@code entries}.
+	 */
+	private void evictExpired(Instant now) {
+		Instant cutoff = now.minus(ttl);
+		Iterator<Entry> iterator = entries.values().iterator();
+		while (iterator.hasNext()) {
+			Entry entry = iterator.next();
+			if (entry.createdAt.isAfter(cutoff)) {
+				break;
+			}
+			if (entry.response.isDone()) {
+				iterator.remove();
+			}
+		}
+	}
+
+	/**
+	 * Removes the oldest finished entries until there is room for one more.
+	 * In-flight entries are never evicted, since a duplicate arriving after
+	 * that would run the operation a second time; while more requests than
+	 * {@code maxEntries} are in flight the store may exceed its size. Must be
+	 * called while holding the lock on {@code entries}.
+	 */
+	private void evictOldest() {
+		Iterator<Entry> iterator = entries.values().iterator();
+		while (entries.size() >= maxEntries && iterator.hasNext()) {
+			if (iterator.next().response.isDone()) {
+				iterator.remove();
+			}
+		}
+	}
+
+	private static final class Entry {
+
+		private final Instant createdAt;
+
+		private final String requestHash;
+
+		// Completed with the stored response, or with null if nothing was stored
+		private final CompletableFuture<ResponseEntity<?>> response = new CompletableFuture<>();
+
+		Entry(Instant createdAt, String requestHash) {
+			this.createdAt = createdAt;
+			this.requestHash = requestHash;
+		}
+	}
+}
@@ -0,0 +1,165 @@
+package com.questglobal.student.service.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.questglobal.student.repository.AddressRepository;
+import com.questglobal.student.repository.StudentJsonStreamRepository;
+import com.questglobal.student.repository.StudentRepository;
+import com.questglobal.student.service.StudentPurgeService;
+
+/**
+ * Implementation of StudentPurgeService that runs on a schedule during
+ * off-peak hours.
+ * <p>
+ * Each batch runs in its own transaction. Its rows are selected with
+ * {@code FOR UPDATE SKIP LOCKED}, so purges running on several instances
+ * work on disjoint batches. The students, including their {@code deletedAt}
+ * time, are first written to a temporary gzip-compressed JSON file, then
+ * their addresses and rows are deleted with two bulk statements. If fewer
+ * rows are deleted than were archived, the batch is rolled back. The file is
+ * moved into the archive only after the transaction commits and is dropped
+ * on rollback, so every archived student was deleted exactly once. If
+ * archiving fails nothing is deleted, and the batch is picked up again on
+ * the next run.
+ * </p>
+ */
+@Service
+public class StudentPurgeServiceImpl implements StudentPurgeService {
+
+	private static final Logger logger = LoggerFactory.getLogger(StudentPurgeServiceImpl.class);
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private AddressRepository addressRepository;
+
+	@Autowired
+	private StudentJsonStreamRepository studentJsonStreamRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Value("${student.purge.batch-size:500}")
+	private int batchSize;
+
+	@Value("${student.purge.min-age:7d}")
+	private Duration minAge;
+
+	@Value("${student.purge.window:2h}")
+	private Duration window;
+
+	@Value("${student.purge.archive-dir:archive/students}")
+	private String archiveDir;
+
+	/**
+	 * Scheduled entry point for the purge, by default every night at 02:00.
+	 */
+	@Scheduled(cron = "${student.purge.cron:0 0 2 * * *}")
+	public void scheduledPurge() {
+		try {
+			purgeDeletedStudents();
+		} catch (Exception e) {
+			logger.error("Error purging deleted students: {}", e.getMessage());
+		}
+	}
+
+	@Override
+	public int purgeDeletedStudents() {
+		Instant start = Instant.now();
+		Instant deadline = start.plus(window);
+		Instant cutoff = start.minus(minAge);
+		int purged = 0;
+		while (Instant.now().isBefore(deadline)) {
+			Integer batchPurged = transactionTemplate.execute(status -> purgeBatch(cutoff, status));
+			if (batchPurged == null || batchPurged == 0) {
+				break;
+			}
+			purged += batchPurged;
+		}
+		logger.info("Purged {} deleted students in {} ms", purged, Duration.between(start, Instant.now()).toMillis());
+		return purged;
+	}
+
+	private int purgeBatch(Instant cutoff, TransactionStatus status) {
+		List<Long> ids = studentRepository.findSoftDeletedIdsBefore(cutoff, batchSize);
+		if (ids.isEmpty()) {
+			return 0;
+		}
+		archive(ids);
+		addressRepository.deleteByStudentIds(ids);
+		int deleted = studentRepository.purgeByIds(ids);
+		if (deleted != ids.size()) {
+			// The archive would list students that were not deleted, so undo the batch and stop this run
+			logger.warn("Purged {} of {} archived students, rolling back batch starting at ID {}", deleted, ids.size(),
+					ids.get(0));
+			status.setRollbackOnly();
+			return 0;
+		}
+		logger.debug("Purged batch of {} students, IDs {} to {}", deleted, ids.get(0), ids.get(ids.size() - 1));
+		return deleted;
+	}
+
+	/**
+	 * Writes the students to a temporary file before any row is deleted. The
+	 * file is published or dropped once the batch transaction completes, so a
+	 * partial file or a rolled-back batch never shows up in the archive.
+	 */
+	private void archive(List<Long> ids) {
+		String name = "students-" + System.currentTimeMillis() + "-" + ids.get(0) + ".json.gz";
+		Path dir = Paths.get(archiveDir);
+		Path tmp = dir.resolve(name + ".tmp");
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCompletion(int status) {
+				if (status != STATUS_COMMITTED) {
+					deleteQuietly(tmp);
+					return;
+				}
+				try {
+					Files.move(tmp, dir.resolve(name), StandardCopyOption.ATOMIC_MOVE);
+				} catch (IOException e) {
+					// The batch committed, so the temporary file is the only copy left; keep it for manual recovery
+					logger.error("Error publishing archive {}: {}", tmp, e.getMessage());
+				}
+			}
+		});
+		try {
+			Files.createDirectories(dir);
+			try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(tmp))) {
+				studentJsonStreamRepository.writeStudentsByIds(ids, out);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Error archiving students before purge", e);
+		}
+	}
+
+	private void deleteQuietly(Path file) {
+		try {
+			Files.deleteIfExists(file);
+		} catch (IOException e) {
+			logger.warn("Error deleting temporary archive {}: {}", file, e.getMessage());
+		}
+	}
+}
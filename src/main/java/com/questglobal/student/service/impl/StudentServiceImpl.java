@@ -1,5 +1,6 @@
 package com.questglobal.student.service.impl;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -19,7 +20,10 @@ import com.questglobal.student.dto.StudentDTO;
 import com.questglobal.student.exception.StudentNotFoundException;
 import com.questglobal.student.model.Address;
 import com.questglobal.student.model.Student;
+import com.questglobal.student.repository.StudentJsonStreamRepository;
 import com.questglobal.student.repository.StudentRepository;
+import com.questglobal.student.response.JsonResponseBuffer;
+import com.questglobal.student.response.JsonResponseBufferPool;
 import com.questglobal.student.service.StudentService;
 
 import lombok.extern.slf4j.Slf4j;
@@ -43,6 +47,12 @@ public class StudentServiceImpl extends BaseService implements StudentService {
 	@Autowired
 	private StudentRepository studentRepository;
 
+	@Autowired
+	private StudentJsonStreamRepository studentJsonStreamRepository;
+
+	@Autowired
+	private JsonResponseBufferPool jsonResponseBufferPool;
+
 	private static final Logger logger = LoggerFactory.getLogger(StudentServiceImpl.class);
 
 	/**
@@ -143,25 +153,31 @@ public class StudentServiceImpl extends BaseService implements StudentService {
 	/**
 	 * Retrieves a list of students filtered by class with pagination.
 	 * 
+	 * The JSON is written straight from the JDBC result rows into a pooled
+	 * buffer, so the connection is released before the client reads the body.
+	 * The buffer is written out and released by
+	 * {@code JsonResponseBufferHttpMessageConverter}.
+	 * 
 	 * @param studentClass Class of students to retrieve.
 	 * @param pageable     Pagination information.
-	 * @return List of filtered StudentDTOs.
+	 * @return Buffered JSON list of filtered students.
 	 */
 	@Override
 	public ResponseEntity<?> getStudentsByClassWithPagination(String studentClass, Pageable pageable) {
 		logger.info("Retrieving students of class: {}", studentClass);
+		JsonResponseBuffer buffer = jsonResponseBufferPool.acquire();
 		try {
-			List<StudentDTO> studentList = studentRepository.findByStudentClass(studentClass, pageable).getContent().stream()
-					.map(this::convertToStudentDto).collect(Collectors.toList());
-			return createSuccessResponse(studentList);
+			studentJsonStreamRepository.writeStudentsByClass(studentClass, pageable, buffer);
+			return createSuccessResponse(buffer);
 		} catch (Exception e) {
+			buffer.release();
 			logger.error("Error retrieving students by class {}: {}", studentClass, e.getMessage());
 			return createErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR, "Error while Retrieving students of class", "INTERNAL_SERVER_ERROR");
 		}
 	}
 
 	/**
-	 * Deletes a student by ID.
+	 * Soft deletes a student by ID with a single update statement.
 	 * 
 	 * @param id ID of the student to delete.
 	 */
@@ -169,10 +185,9 @@ public class StudentServiceImpl extends BaseService implements StudentService {
 	public ResponseEntity<?> deleteStudent(Long id) {
 		logger.info("Deleting student with ID: {}", id);
 		try {
-			if (!studentRepository.existsById(id)) {
+			if (studentRepository.softDeleteById(id, Instant.now()) == 0) {
 				throw new StudentNotFoundException("Student not found with ID: " + id);
 			}
-			studentRepository.deleteById(id);
 			logger.info("Student deleted with ID: {}", id);
 			return createSuccessResponse("Student deleted with ID: {}"+id);
 		} catch (StudentNotFoundException e) {
@@ -183,19 +198,44 @@ public class StudentServiceImpl extends BaseService implements StudentService {
 		}
 	}
 
+	/**
+	 * Soft deletes all students of a class with a single update statement.
+	 * 
+	 * @param studentClass Class of students to delete.
+	 * @return Number of students deleted.
+	 */
+	@Override
+	public ResponseEntity<?> deleteStudentsByClass(String studentClass) {
+		logger.info("Deleting students of class: {}", studentClass);
+		try {
+			int deleted = studentRepository.softDeleteByStudentClass(studentClass, Instant.now());
+			logger.info("Deleted {} students of class: {}", deleted, studentClass);
+			return createSuccessResponse("Students deleted from class " + studentClass + ": " + deleted);
+		} catch (Exception e) {
+			logger.error("Error deleting students of class {}: {}", studentClass, e.getMessage());
+			return createErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR, "Error while deleting students of class", "INTERNAL_SERVER_ERROR");
+		}
+	}
+
 	/**
 	 * Retrieves all students.
 	 * 
-	 * @return List of all StudentDTOs.
+	 * The JSON is written straight from the JDBC result rows into a pooled
+	 * buffer, so the connection is released before the client reads the body.
+	 * The buffer is written out and released by
+	 * {@code JsonResponseBufferHttpMessageConverter}.
+	 * 
+	 * @return Buffered JSON list of all students.
 	 */
 	@Override
 	public ResponseEntity<?> getAllStudents() {
 		logger.info("Retrieving all students.");
+		JsonResponseBuffer buffer = jsonResponseBufferPool.acquire();
 		try {
-			List<StudentDTO> studentList = studentRepository.findAll().stream().map(this::convertToStudentDto).collect(Collectors.toList());
-			
-			return createSuccessResponse(studentList);
+			studentJsonStreamRepository.writeAllStudents(buffer);
+			return createSuccessResponse(buffer);
 		} catch (Exception e) {
+			buffer.release();
 			logger.error("Error retrieving all students: {}", e.getMessage());
 			return createErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR, "INTERNAL_SERVER_ERROR", "INTERNAL_SERVER_ERROR");
 		}
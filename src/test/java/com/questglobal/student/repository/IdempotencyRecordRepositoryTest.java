@@ -0,0 +1,75 @@
+package com.questglobal.student.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.SQLException;
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.questglobal.student.model.IdempotencyRecord.State;
+import com.questglobal.student.repository.IdempotencyRecordRepository.RecordView;
+
+@DataJpaTest
+class IdempotencyRecordRepositoryTest {
+
+	private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+	@Autowired
+	private IdempotencyRecordRepository idempotencyRecordRepository;
+
+	@Test
+	void secondClaimOfKeyFailsWithUniqueViolation() {
+		idempotencyRecordRepository.insertPending("key", "hash", "token-1", NOW);
+
+		DataIntegrityViolationException e = assertThrows(DataIntegrityViolationException.class,
+				() -> idempotencyRecordRepository.insertPending("key", "hash", "token-2", NOW));
+		assertTrue(e.getMostSpecificCause() instanceof SQLException);
+		assertEquals("23505", ((SQLException) e.getMostSpecificCause()).getSQLState());
+	}
+
+	@Test
+	void stalePendingRecordIsTakenOverOnce() {
+		idempotencyRecordRepository.insertPending("key", "hash", "token-1", NOW);
+
+		assertEquals(0, idempotencyRecordRepository.takeOverStale("key", "hash", "token-2", NOW.plusSeconds(10), NOW));
+		assertEquals(0, idempotencyRecordRepository.takeOverStale("key", "other", "token-2", NOW.plusSeconds(60),
+				NOW.plusSeconds(30)));
+		assertEquals(1, idempotencyRecordRepository.takeOverStale("key", "hash", "token-2", NOW.plusSeconds(60),
+				NOW.plusSeconds(30)));
+		assertEquals(0, idempotencyRecordRepository.takeOverStale("key", "hash", "token-3", NOW.plusSeconds(60),
+				NOW.plusSeconds(30)));
+		assertEquals(NOW.plusSeconds(60), idempotencyRecordRepository.findViewByIdempotencyKey("key").orElseThrow()
+				.getClaimedAt());
+	}
+
+	@Test
+	void onlyCurrentOwnerCompletesRecord() {
+		idempotencyRecordRepository.insertPending("key", "hash", "token-1", NOW);
+		idempotencyRecordRepository.takeOverStale("key", "hash", "token-2", NOW.plusSeconds(60), NOW.plusSeconds(30));
+
+		assertEquals(0, idempotencyRecordRepository.complete("key", "token-1", 200, "{\"id\":1}"));
+		assertEquals(1, idempotencyRecordRepository.complete("key", "token-2", 200, "{\"id\":2}"));
+
+		RecordView view = idempotencyRecordRepository.findViewByIdempotencyKey("key")
+				.orElseThrow();
+		assertEquals(State.COMPLETED, view.getState());
+		assertEquals("{\"id\":2}", view.getResponseBody());
+	}
+
+	@Test
+	void failedRecordIsNotReleased() {
+		idempotencyRecordRepository.insertPending("key", "hash", "token-1", NOW);
+
+		assertEquals(1, idempotencyRecordRepository.markFailed("key", "token-1"));
+		assertEquals(0, idempotencyRecordRepository.deletePending("key", "token-1"));
+		assertEquals(0, idempotencyRecordRepository.takeOverStale("key", "hash", "token-2", NOW.plusSeconds(60),
+				NOW.plusSeconds(30)));
+		assertEquals(State.FAILED, idempotencyRecordRepository.findViewByIdempotencyKey("key").orElseThrow().getState());
+	}
+}
@@ -0,0 +1,100 @@
+package com.questglobal.student.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TimeZone;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.questglobal.student.model.Address;
+import com.questglobal.student.model.Student;
+
+@DataJpaTest
+class StudentJsonStreamRepositoryTest {
+
+	private static final Instant DELETED_AT = Instant.parse("2026-03-01T10:15:30Z");
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	private StudentJsonStreamRepository studentJsonStreamRepository;
+
+	@BeforeEach
+	void setUp() {
+		studentJsonStreamRepository = new StudentJsonStreamRepository(dataSource, objectMapper);
+	}
+
+	@Test
+	void writesActiveStudentsWithTheirAddresses() throws Exception {
+		Student active = persistStudent("Asha", "10A", 2);
+		Student deleted = persistStudent("Ravi", "10A", 1);
+		studentRepository.softDeleteById(deleted.getId(), DELETED_AT);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		studentJsonStreamRepository.writeAllStudents(out);
+
+		JsonNode students = objectMapper.readTree(out.toByteArray());
+		assertEquals(1, students.size());
+		assertEquals(active.getId().longValue(), students.get(0).get("id").asLong());
+		assertEquals(2, students.get(0).get("addresses").size());
+	}
+
+	@Test
+	void archivesDeletedAtAsWrittenByHibernate() throws Exception {
+		// Hibernate stores Instant in UTC; the archive must not shift it by the JVM's time zone
+		TimeZone defaultZone = TimeZone.getDefault();
+		TimeZone.setDefault(TimeZone.getTimeZone("Asia/Kolkata"));
+		try {
+			Student student = persistStudent("Asha", "10A", 1);
+			studentRepository.softDeleteById(student.getId(), DELETED_AT);
+
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			studentJsonStreamRepository.writeStudentsByIds(List.of(student.getId()), out);
+
+			JsonNode students = objectMapper.readTree(out.toByteArray());
+			assertEquals(1, students.size());
+			assertEquals(DELETED_AT.toString(), students.get(0).get("deletedAt").asText());
+			assertEquals(1, students.get(0).get("addresses").size());
+		} finally {
+			TimeZone.setDefault(defaultZone);
+		}
+	}
+
+	private Student persistStudent(String name, String studentClass, int addressCount) {
+		Student student = new Student();
+		student.setName(name);
+		student.setStudentClass(studentClass);
+		student.setAge(15);
+		List<Address> addresses = new ArrayList<>();
+		for (int i = 0; i < addressCount; i++) {
+			Address address = new Address();
+			address.setFlatNo("A-" + i);
+			address.setCity("Pune");
+			address.setState("MH");
+			address.setStudent(student);
+			addresses.add(address);
+		}
+		student.setAddresses(addresses);
+		return entityManager.persistAndFlush(student);
+	}
+}
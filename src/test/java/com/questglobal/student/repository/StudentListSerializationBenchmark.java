@@ -0,0 +1,205 @@
+package com.questglobal.student.repository;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.questglobal.student.dto.AddressDTO;
+import com.questglobal.student.dto.StudentDTO;
+import com.questglobal.student.model.Address;
+import com.questglobal.student.model.Student;
+import com.questglobal.student.response.JsonResponseBuffer;
+import com.questglobal.student.response.JsonResponseBufferPool;
+
+/**
+ * JMH benchmark comparing the previous list serialization path with
+ * {@link StudentJsonStreamRepository}, both reading the same rows from an
+ * in-memory H2 database over one shared connection.
+ * <p>
+ * {@code streamRepository} is the production path of
+ * {@code GET /student}: {@code writeAllStudents} into a pooled
+ * {@link JsonResponseBuffer}, copy the buffer out, and release it.
+ * {@code entityDtoJackson} reads the same join with JDBC into
+ * {@code Student} and {@code Address} entities, maps them to
+ * {@code StudentDTO} and serializes the list with Jackson data binding, as
+ * {@code StudentServiceImpl} did before. It builds the entities by hand, so
+ * Hibernate's own hydration and persistence context costs are not counted
+ * and its figure is a lower bound for the old path.
+ * </p>
+ * <p>
+ * Run with the GC profiler and compare {@code gc.alloc.rate.norm} (bytes per
+ * operation) between the two benchmarks:
+ * </p>
+ * <pre>
+ * mvn -B test-compile dependency:build-classpath -Dmdep.includeScope=test -Dmdep.outputFile=target/test-classpath.txt
+ * java -cp target/test-classes:target/classes:$(cat target/test-classpath.txt) \
+ *     org.openjdk.jmh.Main StudentListSerializationBenchmark -prof gc
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class StudentListSerializationBenchmark {
+
+	private static final int ADDRESSES_PER_STUDENT = 2;
+
+	private static final String FIND_ALL_SQL = "SELECT s.id, s.name, s.student_class, s.age, "
+			+ "a.id AS address_id, a.flat_no, a.city, a.state "
+			+ "FROM student s LEFT JOIN address a ON a.student_id = s.id "
+			+ "WHERE s.deleted = false ORDER BY s.id, a.id";
+
+	private static final OutputStream SINK = new OutputStream() {
+		@Override
+		public void write(int b) {
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+		}
+	};
+
+	@Param({ "100", "10000" })
+	int students;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private SingleConnectionDataSource dataSource;
+
+	private JdbcTemplate jdbcTemplate;
+
+	private StudentJsonStreamRepository repository;
+
+	private JsonResponseBufferPool bufferPool;
+
+	@Setup
+	public void setUp() {
+		dataSource = new SingleConnectionDataSource("jdbc:h2:mem:student_benchmark_" + students + ";DB_CLOSE_DELAY=-1",
+				"sa", "", true);
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.execute("CREATE TABLE student (id BIGINT PRIMARY KEY, name VARCHAR(255), "
+				+ "student_class VARCHAR(255), age INT NOT NULL, deleted BOOLEAN NOT NULL, "
+				+ "deleted_at TIMESTAMP(6) WITH TIME ZONE)");
+		jdbcTemplate.execute("CREATE TABLE address (id BIGINT PRIMARY KEY, flat_no VARCHAR(255), "
+				+ "city VARCHAR(255), state VARCHAR(255), student_id BIGINT REFERENCES student (id))");
+		jdbcTemplate.execute("CREATE INDEX address_student_id ON address (student_id)");
+
+		List<Object[]> studentRows = new ArrayList<>(students);
+		List<Object[]> addressRows = new ArrayList<>(students * ADDRESSES_PER_STUDENT);
+		for (int i = 0; i < students; i++) {
+			long studentId = 100_000L + i;
+			studentRows.add(new Object[] { studentId, "Student " + i, "Class " + (i % 12), 10 + i % 8 });
+			for (int j = 0; j < ADDRESSES_PER_STUDENT; j++) {
+				int row = addressRows.size();
+				addressRows.add(new Object[] { 1_000_000L + row, "Flat " + row, "City " + (row % 50),
+						"State " + (row % 20), studentId });
+			}
+		}
+		jdbcTemplate.batchUpdate("INSERT INTO student (id, name, student_class, age, deleted) VALUES (?, ?, ?, ?, false)",
+				studentRows);
+		jdbcTemplate.batchUpdate("INSERT INTO address (id, flat_no, city, state, student_id) VALUES (?, ?, ?, ?, ?)",
+				addressRows);
+
+		repository = new StudentJsonStreamRepository(dataSource, objectMapper);
+		bufferPool = new JsonResponseBufferPool(256, 16384, 64 * 1024 * 1024);
+	}
+
+	@TearDown
+	public void tearDown() {
+		jdbcTemplate.execute("DROP ALL OBJECTS");
+		dataSource.destroy();
+	}
+
+	@Benchmark
+	public void entityDtoJackson() throws IOException {
+		List<StudentDTO> studentList = loadEntities().stream().map(this::convertToStudentDto)
+				.collect(Collectors.toList());
+		objectMapper.writeValue(SINK, studentList);
+	}
+
+	@Benchmark
+	public void streamRepository() throws IOException {
+		JsonResponseBuffer buffer = bufferPool.acquire();
+		try {
+			repository.writeAllStudents(buffer);
+			buffer.writeTo(SINK);
+		} finally {
+			buffer.release();
+		}
+	}
+
+	private List<Student> loadEntities() {
+		Map<Long, Student> studentsById = new LinkedHashMap<>();
+		jdbcTemplate.query(FIND_ALL_SQL, rs -> {
+			Student student = studentsById.computeIfAbsent(rs.getLong(1), id -> new Student());
+			if (student.getId() == null) {
+				student.setId(rs.getLong(1));
+				student.setName(rs.getString(2));
+				student.setStudentClass(rs.getString(3));
+				student.setAge(rs.getInt(4));
+				student.setAddresses(new ArrayList<>());
+			}
+			long addressId = rs.getLong(5);
+			if (!rs.wasNull()) {
+				Address address = new Address();
+				address.setId(addressId);
+				address.setFlatNo(rs.getString(6));
+				address.setCity(rs.getString(7));
+				address.setState(rs.getString(8));
+				address.setStudent(student);
+				student.getAddresses().add(address);
+			}
+		});
+		return new ArrayList<>(studentsById.values());
+	}
+
+	private StudentDTO convertToStudentDto(Student student) {
+		StudentDTO studentDTO = new StudentDTO();
+		studentDTO.setId(student.getId());
+		studentDTO.setName(student.getName());
+		studentDTO.setStudentClass(student.getStudentClass());
+		studentDTO.setAge(student.getAge());
+		studentDTO.setAddresses(student.getAddresses().stream().map(this::convertToAddressDto).collect(Collectors.toList()));
+		return studentDTO;
+	}
+
+	private AddressDTO convertToAddressDto(Address address) {
+		AddressDTO addressDTO = new AddressDTO();
+		addressDTO.setFlatNo(address.getFlatNo());
+		addressDTO.setCity(address.getCity());
+		addressDTO.setState(address.getState());
+		return addressDTO;
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(StudentListSerializationBenchmark.class.getSimpleName())
+				.addProfiler(GCProfiler.class).build()).run();
+	}
+}
@@ -0,0 +1,107 @@
+package com.questglobal.student.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import com.questglobal.student.model.Address;
+import com.questglobal.student.model.Student;
+
+@DataJpaTest
+class StudentRepositoryTest {
+
+	private static final Instant DELETED_AT = Instant.parse("2026-01-01T00:00:00Z");
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private AddressRepository addressRepository;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Test
+	void softDeletedStudentsAreHiddenFromReads() {
+		Student active = persistStudent("Asha", "10A");
+		Student deleted = persistStudent("Ravi", "10A");
+
+		assertEquals(1, studentRepository.softDeleteById(deleted.getId(), DELETED_AT));
+		entityManager.clear();
+
+		assertTrue(studentRepository.findById(deleted.getId()).isEmpty());
+		assertTrue(studentRepository.findById(active.getId()).isPresent());
+		assertFalse(studentRepository.existsById(deleted.getId()));
+		assertEquals(List.of(active.getId()), ids(studentRepository.findByStudentClass("10A")));
+		assertEquals(List.of(active.getId()),
+				ids(studentRepository.findByStudentClass("10A", PageRequest.of(0, 10)).getContent()));
+	}
+
+	@Test
+	void softDeleteOnlyAffectsActiveStudents() {
+		Student student = persistStudent("Asha", "10A");
+		persistStudent("Ravi", "10A");
+		persistStudent("Meera", "10B");
+
+		assertEquals(1, studentRepository.softDeleteById(student.getId(), DELETED_AT));
+		assertEquals(0, studentRepository.softDeleteById(student.getId(), DELETED_AT));
+		assertEquals(1, studentRepository.softDeleteByStudentClass("10A", DELETED_AT));
+		assertEquals(0, studentRepository.softDeleteByStudentClass("10A", DELETED_AT));
+	}
+
+	@Test
+	void purgeByIdsRemovesAddressesAndSoftDeletedStudents() {
+		Student active = persistStudent("Asha", "10A");
+		Student deleted = persistStudent("Ravi", "10A");
+		studentRepository.softDeleteById(deleted.getId(), DELETED_AT);
+		entityManager.clear();
+
+		assertTrue(studentRepository.findSoftDeletedIdsBefore(DELETED_AT, 10).isEmpty());
+		List<Long> ids = studentRepository.findSoftDeletedIdsBefore(DELETED_AT.plusSeconds(1), 10);
+		assertEquals(List.of(deleted.getId()), ids);
+
+		assertEquals(1, addressRepository.deleteByStudentIds(ids));
+		assertEquals(1, studentRepository.purgeByIds(ids));
+		// Active students are never purged, even if their IDs are passed in
+		assertEquals(0, studentRepository.purgeByIds(List.of(active.getId())));
+
+		assertEquals(1, countRows("student"));
+		assertEquals(1, countRows("address"));
+		assertTrue(studentRepository.findById(active.getId()).isPresent());
+	}
+
+	private Student persistStudent(String name, String studentClass) {
+		Student student = new Student();
+		student.setName(name);
+		student.setStudentClass(studentClass);
+		student.setAge(15);
+		Address address = new Address();
+		address.setFlatNo("A-1");
+		address.setCity("Pune");
+		address.setState("MH");
+		address.setStudent(student);
+		List<Address> addresses = new ArrayList<>();
+		addresses.add(address);
+		student.setAddresses(addresses);
+		return entityManager.persistAndFlush(student);
+	}
+
+	private long countRows(String table) {
+		return ((Number) entityManager.getEntityManager().createNativeQuery("SELECT COUNT(*) FROM " + table)
+				.getSingleResult()).longValue();
+	}
+
+	private static List<Long> ids(List<Student> students) {
+		return students.stream().map(Student::getId).toList();
+	}
+}
@@ -0,0 +1,119 @@
+package com.questglobal.student.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TimeZone;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.questglobal.student.dto.AddressDTO;
+import com.questglobal.student.dto.StudentDTO;
+import com.questglobal.student.repository.StudentJsonStreamRepository.StudentRowWriter;
+
+class StudentRowWriterTest {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Test
+	void writesEmptyArrayWhenThereAreNoRows() throws Exception {
+		assertEquals("[]", write(new StudentRows()));
+	}
+
+	@Test
+	void writesStudentWithoutAddressesWithEmptyAddressList() throws Exception {
+		StudentRows rows = new StudentRows().student(1, "Asha", "10A", 15);
+
+		assertEquals(objectMapper.writeValueAsString(List.of(student(1, "Asha", "10A", 15))), write(rows));
+	}
+
+	@Test
+	void groupsConsecutiveRowsOfTheSameStudent() throws Exception {
+		StudentRows rows = new StudentRows()
+				.address(1, "Asha", "10A", 15, 11, "A-1", "Pune", "MH")
+				.address(1, "Asha", "10A", 15, 12, "B-2", "Mumbai", "MH")
+				.address(1, "Asha", "10A", 15, 13, "C-3", "Goa", "GA");
+
+		StudentDTO expected = student(1, "Asha", "10A", 15, address("A-1", "Pune", "MH"),
+				address("B-2", "Mumbai", "MH"), address("C-3", "Goa", "GA"));
+		assertEquals(objectMapper.writeValueAsString(List.of(expected)), write(rows));
+	}
+
+	@Test
+	void matchesSerializedStudentDtoList() throws Exception {
+		StudentRows rows = new StudentRows()
+				.address(1, "Asha", "10A", 15, 11, "A-1", "Pune", "MH")
+				.address(1, "Asha", "10A", 15, 12, "B-2", "Mumbai", "MH")
+				.student(2, "Ravi", "10A", 16)
+				.address(3, null, "10B", 14, 31, "C-3", null, "KA");
+
+		List<StudentDTO> expected = List.of(
+				student(1, "Asha", "10A", 15, address("A-1", "Pune", "MH"), address("B-2", "Mumbai", "MH")),
+				student(2, "Ravi", "10A", 16),
+				student(3, null, "10B", 14, address("C-3", null, "KA")));
+		assertEquals(objectMapper.writeValueAsString(expected), write(rows));
+	}
+
+	@Test
+	void includesDeletedAtWhenArchiving() throws Exception {
+		// The stored UTC time must not be shifted by the JVM's time zone
+		TimeZone defaultZone = TimeZone.getDefault();
+		TimeZone.setDefault(TimeZone.getTimeZone("Asia/Kolkata"));
+		try {
+			StudentRows rows = new StudentRows()
+					.deletedStudent(1, "Asha", "10A", 15, Instant.parse("2026-03-01T10:15:30Z"))
+					.student(2, "Ravi", "10A", 16);
+
+			assertEquals("[{\"id\":1,\"name\":\"Asha\",\"studentClass\":\"10A\",\"age\":15,"
+					+ "\"deletedAt\":\"2026-03-01T10:15:30Z\",\"addresses\":[]},"
+					+ "{\"id\":2,\"name\":\"Ravi\",\"studentClass\":\"10A\",\"age\":16,"
+					+ "\"deletedAt\":null,\"addresses\":[]}]", write(rows, true));
+		} finally {
+			TimeZone.setDefault(defaultZone);
+		}
+	}
+
+	private String write(StudentRows rows) throws Exception {
+		return write(rows, false);
+	}
+
+	private String write(StudentRows rows, boolean includeDeletedAt) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+			generator.writeStartArray();
+			StudentRowWriter writer = new StudentRowWriter(generator, includeDeletedAt);
+			ResultSet rs = rows.resultSet();
+			while (rs.next()) {
+				writer.processRow(rs);
+			}
+			writer.finish();
+			generator.writeEndArray();
+		}
+		return out.toString(StandardCharsets.UTF_8);
+	}
+
+	private static StudentDTO student(long id, String name, String studentClass, int age, AddressDTO... addresses) {
+		StudentDTO student = new StudentDTO();
+		student.setId(id);
+		student.setName(name);
+		student.setStudentClass(studentClass);
+		student.setAge(age);
+		student.setAddresses(new ArrayList<>(List.of(addresses)));
+		return student;
+	}
+
+	private static AddressDTO address(String flatNo, String city, String state) {
+		AddressDTO address = new AddressDTO();
+		address.setFlatNo(flatNo);
+		address.setCity(city);
+		address.setState(state);
+		return address;
+	}
+}
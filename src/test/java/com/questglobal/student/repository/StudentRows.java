@@ -0,0 +1,96 @@
+package com.questglobal.student.repository;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetMetaDataImpl;
+import javax.sql.rowset.RowSetProvider;
+
+/**
+ * In-memory result set with the columns selected by
+ * {@link StudentJsonStreamRepository}, plus the {@code deleted_at} column
+ * selected for archiving, used to drive the row writer without a database.
+ */
+final class StudentRows {
+
+	private static final int[] COLUMN_TYPES = { Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.INTEGER,
+			Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.TIMESTAMP };
+
+	private final CachedRowSet rowSet;
+
+	StudentRows() throws SQLException {
+		RowSetMetaDataImpl metaData = new RowSetMetaDataImpl();
+		metaData.setColumnCount(COLUMN_TYPES.length);
+		for (int i = 0; i < COLUMN_TYPES.length; i++) {
+			metaData.setColumnType(i + 1, COLUMN_TYPES[i]);
+			metaData.setNullable(i + 1, ResultSetMetaData.columnNullable);
+		}
+		rowSet = RowSetProvider.newFactory().createCachedRowSet();
+		rowSet.setMetaData(metaData);
+	}
+
+	/**
+	 * Appends a joined row for a student without addresses.
+	 */
+	StudentRows student(long id, String name, String studentClass, int age) throws SQLException {
+		return row(id, name, studentClass, age, null, null, null, null, null);
+	}
+
+	/**
+	 * Appends a joined row for a soft-deleted student without addresses.
+	 */
+	StudentRows deletedStudent(long id, String name, String studentClass, int age, Instant deletedAt)
+			throws SQLException {
+		return row(id, name, studentClass, age, null, null, null, null, deletedAt);
+	}
+
+	/**
+	 * Appends a joined row for one address of a student.
+	 */
+	StudentRows address(long id, String name, String studentClass, int age, long addressId, String flatNo,
+			String city, String state) throws SQLException {
+		return row(id, name, studentClass, age, addressId, flatNo, city, state, null);
+	}
+
+	/**
+	 * Returns the rows positioned before the first row.
+	 */
+	ResultSet resultSet() throws SQLException {
+		rowSet.beforeFirst();
+		return rowSet;
+	}
+
+	private StudentRows row(long id, String name, String studentClass, int age, Long addressId, String flatNo,
+			String city, String state, Instant deletedAt) throws SQLException {
+		rowSet.last();
+		rowSet.moveToInsertRow();
+		rowSet.updateLong(1, id);
+		rowSet.updateString(2, name);
+		rowSet.updateString(3, studentClass);
+		rowSet.updateInt(4, age);
+		if (addressId == null) {
+			rowSet.updateNull(5);
+		} else {
+			rowSet.updateLong(5, addressId);
+		}
+		rowSet.updateString(6, flatNo);
+		rowSet.updateString(7, city);
+		rowSet.updateString(8, state);
+		if (deletedAt == null) {
+			rowSet.updateNull(9);
+		} else {
+			// Stored as UTC wall-clock time, like a DATETIME column written by Hibernate
+			rowSet.updateTimestamp(9, Timestamp.valueOf(LocalDateTime.ofInstant(deletedAt, ZoneOffset.UTC)));
+		}
+		rowSet.insertRow();
+		rowSet.moveToCurrentRow();
+		return this;
+	}
+}
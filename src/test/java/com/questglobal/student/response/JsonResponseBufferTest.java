@@ -0,0 +1,84 @@
+package com.questglobal.student.response;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+class JsonResponseBufferTest {
+
+	private static final int CHUNK_SIZE = 8;
+
+	private final JsonResponseBufferPool pool = new JsonResponseBufferPool(4, CHUNK_SIZE, 32);
+
+	@Test
+	void writesBytesAcrossChunkBoundaries() throws Exception {
+		JsonResponseBuffer buffer = pool.acquire();
+		byte[] body = bytes(21);
+		buffer.write(body, 0, 5);
+		buffer.write(body[5]);
+		buffer.write(body, 6, 15);
+
+		assertEquals(21, buffer.size());
+		assertArrayEquals(body, copy(buffer));
+	}
+
+	@Test
+	void writesNothingWhenEmpty() throws Exception {
+		assertArrayEquals(new byte[0], copy(pool.acquire()));
+	}
+
+	@Test
+	void rejectsWritesPastTheMaximumSize() throws Exception {
+		JsonResponseBuffer buffer = pool.acquire();
+		buffer.write(bytes(30));
+
+		assertThrows(IOException.class, () -> buffer.write(bytes(3)));
+		assertEquals(30, buffer.size());
+	}
+
+	@Test
+	void releaseReturnsChunksToThePool() throws Exception {
+		JsonResponseBuffer buffer = pool.acquire();
+		buffer.write(bytes(CHUNK_SIZE));
+		buffer.release();
+
+		assertEquals(0, buffer.size());
+		// A fresh chunk would be all zeros
+		assertEquals('a', pool.takeChunk()[0]);
+	}
+
+	@Test
+	void poolKeepsNoMoreChunksThanItsCapacity() throws Exception {
+		JsonResponseBuffer first = pool.acquire();
+		JsonResponseBuffer second = pool.acquire();
+		first.write(bytes(32));
+		second.write(bytes(32));
+		first.release();
+		second.release();
+
+		for (int i = 0; i < 4; i++) {
+			assertNotEquals(0, pool.takeChunk()[0]);
+		}
+		assertEquals(0, pool.takeChunk()[0]);
+	}
+
+	private static byte[] copy(JsonResponseBuffer buffer) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		buffer.writeTo(out);
+		return out.toByteArray();
+	}
+
+	private static byte[] bytes(int length) {
+		byte[] bytes = new byte[length];
+		for (int i = 0; i < length; i++) {
+			bytes[i] = (byte) ('a' + i % 26);
+		}
+		return bytes;
+	}
+}
@@ -0,0 +1,386 @@
+package com.questglobal.student.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.questglobal.student.dto.StudentDTO;
+import com.questglobal.student.model.IdempotencyRecord.State;
+import com.questglobal.student.repository.IdempotencyRecordRepository;
+import com.questglobal.student.repository.IdempotencyRecordRepository.RecordView;
+import com.questglobal.student.service.IdempotencyService;
+
+class IdempotencyServiceImplTest {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+
+	private final IdempotencyRecordRepository idempotencyRecordRepository = mock(IdempotencyRecordRepository.class);
+
+	private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+	private final AtomicInteger calls = new AtomicInteger();
+
+	private IdempotencyServiceImpl idempotencyService;
+
+	@BeforeEach
+	void setUp() {
+		idempotencyService = new IdempotencyServiceImpl();
+		ReflectionTestUtils.setField(idempotencyService, "idempotencyRecordRepository", idempotencyRecordRepository);
+		ReflectionTestUtils.setField(idempotencyService, "objectMapper", objectMapper);
+		ReflectionTestUtils.setField(idempotencyService, "ttl", Duration.ofHours(1));
+		ReflectionTestUtils.setField(idempotencyService, "maxEntries", 100);
+		ReflectionTestUtils.setField(idempotencyService, "waitTimeout", Duration.ofSeconds(5));
+		ReflectionTestUtils.setField(idempotencyService, "pollInterval", Duration.ofMillis(10));
+		ReflectionTestUtils.setField(idempotencyService, "persistent", false);
+		ReflectionTestUtils.setField(idempotencyService, "clock", clock);
+	}
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	void replaysOriginalResponseForRepeatedKey() {
+		ResponseEntity<?> first = idempotencyService.execute("key", student("Asha"), this::register);
+		ResponseEntity<?> second = idempotencyService.execute("key", student("Asha"), this::register);
+
+		assertEquals(1, calls.get());
+		assertEquals("student-1", first.getBody());
+		assertNull(first.getHeaders().getFirst(IdempotencyService.IDEMPOTENT_REPLAYED_HEADER));
+		assertEquals(HttpStatus.OK, second.getStatusCode());
+		assertEquals("student-1", second.getBody());
+		assertEquals("true", second.getHeaders().getFirst(IdempotencyService.IDEMPOTENT_REPLAYED_HEADER));
+	}
+
+	@Test
+	void rejectsKeyReusedWithDifferentRequest() {
+		idempotencyService.execute("key", student("Asha"), this::register);
+		ResponseEntity<?> response = idempotencyService.execute("key", student("Ravi"), this::register);
+
+		assertEquals(1, calls.get());
+		assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, response.getStatusCode());
+	}
+
+	@Test
+	void coalescesConcurrentDuplicatesIntoOneAction() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Supplier<ResponseEntity<?>> action = () -> {
+			started.countDown();
+			await(release);
+			return register();
+		};
+		Callable<ResponseEntity<?>> call = () -> idempotencyService.execute("key", student("Asha"), action);
+
+		Future<ResponseEntity<?>> original = executor.submit(call);
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		List<Future<ResponseEntity<?>>> duplicates = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			duplicates.add(executor.submit(call));
+		}
+		// Give the duplicates time to start waiting on the in-flight request
+		Thread.sleep(100);
+		release.countDown();
+
+		assertEquals("student-1", original.get(5, TimeUnit.SECONDS).getBody());
+		for (Future<ResponseEntity<?>> duplicate : duplicates) {
+			ResponseEntity<?> response = duplicate.get(5, TimeUnit.SECONDS);
+			assertEquals("student-1", response.getBody());
+			assertEquals("true", response.getHeaders().getFirst(IdempotencyService.IDEMPOTENT_REPLAYED_HEADER));
+		}
+		assertEquals(1, calls.get());
+	}
+
+	@Test
+	void failedOriginalAllowsRetryWithSameKey() {
+		ResponseEntity<?> failed = idempotencyService.execute("key", student("Asha"), this::failFirstCall);
+		ResponseEntity<?> retried = idempotencyService.execute("key", student("Asha"), this::failFirstCall);
+
+		assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, failed.getStatusCode());
+		assertEquals(HttpStatus.OK, retried.getStatusCode());
+		assertNull(retried.getHeaders().getFirst(IdempotencyService.IDEMPOTENT_REPLAYED_HEADER));
+		assertEquals(2, calls.get());
+	}
+
+	@Test
+	void waitersRunActionWhenInFlightOriginalFails() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Supplier<ResponseEntity<?>> action = () -> {
+			if (calls.get() == 0) {
+				started.countDown();
+				await(release);
+			}
+			return failFirstCall();
+		};
+		Callable<ResponseEntity<?>> call = () -> idempotencyService.execute("key", student("Asha"), action);
+
+		Future<ResponseEntity<?>> original = executor.submit(call);
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		Future<ResponseEntity<?>> waiter = executor.submit(call);
+		Thread.sleep(100);
+		release.countDown();
+
+		assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, original.get(5, TimeUnit.SECONDS).getStatusCode());
+		ResponseEntity<?> response = waiter.get(5, TimeUnit.SECONDS);
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertNull(response.getHeaders().getFirst(IdempotencyService.IDEMPOTENT_REPLAYED_HEADER));
+		assertEquals(2, calls.get());
+	}
+
+	@Test
+	void evictsEntriesOlderThanTtl() {
+		idempotencyService.execute("key", student("Asha"), this::register);
+		clock.advance(Duration.ofHours(2));
+		ResponseEntity<?> response = idempotencyService.execute("key", student("Asha"), this::register);
+
+		assertEquals(2, calls.get());
+		assertEquals("student-2", response.getBody());
+	}
+
+	@Test
+	void evictsOldestEntryWhenFull() {
+		ReflectionTestUtils.setField(idempotencyService, "maxEntries", 2);
+		idempotencyService.execute("a", student("Asha"), this::register);
+		idempotencyService.execute("b", student("Asha"), this::register);
+		idempotencyService.execute("c", student("Asha"), this::register);
+
+		assertEquals("student-2", idempotencyService.execute("b", student("Asha"), this::register).getBody());
+		assertEquals(3, calls.get());
+		assertEquals("student-4", idempotencyService.execute("a", student("Asha"), this::register).getBody());
+		assertEquals(4, calls.get());
+	}
+
+	@Test
+	void neverEvictsInFlightEntries() throws Exception {
+		ReflectionTestUtils.setField(idempotencyService, "maxEntries", 2);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Supplier<ResponseEntity<?>> blocking = () -> {
+			started.countDown();
+			await(release);
+			return register();
+		};
+		Future<ResponseEntity<?>> original = executor.submit(() -> idempotencyService.execute("a", student("Asha"), blocking));
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		idempotencyService.execute("b", student("Asha"), this::register);
+		idempotencyService.execute("c", student("Asha"), this::register);
+
+		// "a" is still in flight, so "b" was evicted to make room for "c"
+		Future<ResponseEntity<?>> duplicate = executor.submit(() -> idempotencyService.execute("a", student("Asha"), blocking));
+		Thread.sleep(100);
+		release.countDown();
+
+		assertEquals("student-3", original.get(5, TimeUnit.SECONDS).getBody());
+		assertEquals("student-3", duplicate.get(5, TimeUnit.SECONDS).getBody());
+		assertEquals(3, calls.get());
+		assertEquals("student-4", idempotencyService.execute("b", student("Asha"), this::register).getBody());
+	}
+
+	@Test
+	void rejectsKeysLongerThanTheStoredColumn() {
+		ReflectionTestUtils.setField(idempotencyService, "persistent", true);
+		String key = "register:" + "k".repeat(250);
+
+		ResponseEntity<?> response = idempotencyService.execute(key, student("Asha"), this::register);
+
+		assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+		assertEquals(0, calls.get());
+		verify(idempotencyRecordRepository, never()).insertPending(anyString(), anyString(), anyString(), any());
+	}
+
+	@Test
+	void claimsKeyInDatabaseBeforeRunningAction() {
+		ReflectionTestUtils.setField(idempotencyService, "persistent", true);
+		when(idempotencyRecordRepository.insertPending(eq("key"), anyString(), anyString(), any())).thenReturn(1);
+		when(idempotencyRecordRepository.complete(eq("key"), anyString(), eq(200), anyString())).thenReturn(1);
+
+		ResponseEntity<?> response = idempotencyService.execute("key", student("Asha"), this::register);
+
+		assertEquals("student-1", response.getBody());
+		verify(idempotencyRecordRepository).insertPending(eq("key"), eq(hash(student("Asha"))), anyString(), any());
+		verify(idempotencyRecordRepository).complete(eq("key"), anyString(), eq(200), eq("\"student-1\""));
+	}
+
+	@Test
+	void replaysResponseStoredByAnotherInstance() {
+		ReflectionTestUtils.setField(idempotencyService, "persistent", true);
+		when(idempotencyRecordRepository.insertPending(eq("key"), anyString(), anyString(), any()))
+				.thenThrow(new DuplicateKeyException("Duplicate entry"));
+		RecordView view = storedView(State.COMPLETED, clock.instant());
+		when(view.getStatusCode()).thenReturn(200);
+		when(view.getResponseBody()).thenReturn("{\"id\":1}");
+
+		ResponseEntity<?> response = idempotencyService.execute("key", student("Asha"), this::register);
+
+		assertEquals(0, calls.get());
+		assertEquals("{\"id\":1}", response.getBody());
+		assertEquals("true", response.getHeaders().getFirst(IdempotencyService.IDEMPOTENT_REPLAYED_HEADER));
+	}
+
+	@Test
+	void takesOverPendingRecordWhoseLeaseExpired() {
+		ReflectionTestUtils.setField(idempotencyService, "persistent", true);
+		when(idempotencyRecordRepository.insertPending(eq("key"), anyString(), anyString(), any()))
+				.thenThrow(new DuplicateKeyException("Duplicate entry"));
+		storedView(State.PENDING, clock.instant().minus(Duration.ofMinutes(10)));
+		when(idempotencyRecordRepository.takeOverStale(eq("key"), eq(hash(student("Asha"))), anyString(), any(), any()))
+				.thenReturn(1);
+		when(idempotencyRecordRepository.complete(eq("key"), anyString(), eq(200), anyString())).thenReturn(1);
+
+		ResponseEntity<?> response = idempotencyService.execute("key", student("Asha"), this::register);
+
+		assertEquals("student-1", response.getBody());
+		verify(idempotencyRecordRepository).complete(eq("key"), anyString(), eq(200), eq("\"student-1\""));
+	}
+
+	@Test
+	void keepsKeyClaimedWhenResponseCannotBeStored() {
+		ReflectionTestUtils.setField(idempotencyService, "persistent", true);
+		when(idempotencyRecordRepository.insertPending(eq("key"), anyString(), anyString(), any())).thenReturn(1);
+		when(idempotencyRecordRepository.complete(eq("key"), anyString(), eq(200), anyString()))
+				.thenThrow(new DataAccessResourceFailureException("Connection lost"));
+
+		ResponseEntity<?> response = idempotencyService.execute("key", student("Asha"), this::register);
+
+		assertEquals("student-1", response.getBody());
+		verify(idempotencyRecordRepository).markFailed(eq("key"), anyString());
+		verify(idempotencyRecordRepository, never()).deletePending(anyString(), anyString());
+	}
+
+	@Test
+	void doesNotRepeatOperationWhoseResponseWasNotStored() {
+		ReflectionTestUtils.setField(idempotencyService, "persistent", true);
+		when(idempotencyRecordRepository.insertPending(eq("key"), anyString(), anyString(), any()))
+				.thenThrow(new DuplicateKeyException("Duplicate entry"));
+		storedView(State.FAILED, clock.instant());
+
+		ResponseEntity<?> response = idempotencyService.execute("key", student("Asha"), this::register);
+
+		assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+		assertEquals(0, calls.get());
+	}
+
+	@Test
+	void propagatesIntegrityErrorsOtherThanDuplicateKey() {
+		ReflectionTestUtils.setField(idempotencyService, "persistent", true);
+		when(idempotencyRecordRepository.insertPending(eq("key"), anyString(), anyString(), any()))
+				.thenThrow(new DataIntegrityViolationException("Data too long for column"));
+
+		assertThrows(DataIntegrityViolationException.class,
+				() -> idempotencyService.execute("key", student("Asha"), this::register));
+		assertEquals(0, calls.get());
+	}
+
+	private RecordView storedView(State state, Instant claimedAt) {
+		RecordView view = mock(RecordView.class);
+		when(view.getRequestHash()).thenReturn(hash(student("Asha")));
+		when(view.getState()).thenReturn(state);
+		when(view.getClaimedAt()).thenReturn(claimedAt);
+		when(view.getCreatedAt()).thenReturn(claimedAt);
+		when(idempotencyRecordRepository.findViewByIdempotencyKey("key")).thenReturn(Optional.of(view));
+		return view;
+	}
+
+	private ResponseEntity<?> register() {
+		return ResponseEntity.ok("student-" + calls.incrementAndGet());
+	}
+
+	private ResponseEntity<?> failFirstCall() {
+		if (calls.incrementAndGet() == 1) {
+			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("error");
+		}
+		return ResponseEntity.ok("student-" + calls.get());
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static StudentDTO student(String name) {
+		StudentDTO student = new StudentDTO();
+		student.setName(name);
+		return student;
+	}
+
+	private String hash(Object request) {
+		try {
+			return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request)));
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static final class MutableClock extends Clock {
+
+		private Instant instant;
+
+		MutableClock(Instant instant) {
+			this.instant = instant;
+		}
+
+		void advance(Duration duration) {
+			instant = instant.plus(duration);
+		}
+
+		@Override
+		public Instant instant() {
+			return instant;
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+	}
+}
@@ -0,0 +1,139 @@
+package com.questglobal.student.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.questglobal.student.repository.AddressRepository;
+import com.questglobal.student.repository.StudentJsonStreamRepository;
+import com.questglobal.student.repository.StudentRepository;
+
+class StudentPurgeServiceImplTest {
+
+	private final StudentRepository studentRepository = mock(StudentRepository.class);
+
+	private final AddressRepository addressRepository = mock(AddressRepository.class);
+
+	private final StudentJsonStreamRepository studentJsonStreamRepository = mock(StudentJsonStreamRepository.class);
+
+	private final RecordingTransactionManager transactionManager = new RecordingTransactionManager();
+
+	@TempDir
+	Path archiveDir;
+
+	private StudentPurgeServiceImpl studentPurgeService;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		studentPurgeService = new StudentPurgeServiceImpl();
+		ReflectionTestUtils.setField(studentPurgeService, "studentRepository", studentRepository);
+		ReflectionTestUtils.setField(studentPurgeService, "addressRepository", addressRepository);
+		ReflectionTestUtils.setField(studentPurgeService, "studentJsonStreamRepository", studentJsonStreamRepository);
+		ReflectionTestUtils.setField(studentPurgeService, "transactionTemplate", new TransactionTemplate(transactionManager));
+		ReflectionTestUtils.setField(studentPurgeService, "batchSize", 2);
+		ReflectionTestUtils.setField(studentPurgeService, "minAge", Duration.ofDays(7));
+		ReflectionTestUtils.setField(studentPurgeService, "window", Duration.ofMinutes(1));
+		ReflectionTestUtils.setField(studentPurgeService, "archiveDir", archiveDir.toString());
+		doAnswer(invocation -> {
+			OutputStream out = invocation.getArgument(1);
+			out.write(("students " + invocation.getArgument(0)).getBytes(StandardCharsets.UTF_8));
+			return null;
+		}).when(studentJsonStreamRepository).writeStudentsByIds(any(), any());
+	}
+
+	@Test
+	void publishesArchiveOfEachCommittedBatch() throws Exception {
+		when(studentRepository.findSoftDeletedIdsBefore(any(), eq(2))).thenReturn(List.of(1L, 2L), List.of(3L), List.of());
+		when(studentRepository.purgeByIds(any())).thenAnswer(invocation -> invocation.<List<Long>>getArgument(0).size());
+
+		assertEquals(3, studentPurgeService.purgeDeletedStudents());
+
+		assertEquals(3, transactionManager.commits);
+		List<Path> archives = archives();
+		assertEquals(2, archives.size());
+		assertTrue(archives.stream().allMatch(file -> file.getFileName().toString().endsWith(".json.gz")));
+		assertEquals("students [1, 2]", read(archives.get(0)));
+		assertEquals("students [3]", read(archives.get(1)));
+	}
+
+	@Test
+	void rollsBackBatchWhenNotAllArchivedStudentsWereDeleted() throws Exception {
+		when(studentRepository.findSoftDeletedIdsBefore(any(), anyInt())).thenReturn(List.of(1L, 2L));
+		when(studentRepository.purgeByIds(any())).thenReturn(1);
+
+		assertEquals(0, studentPurgeService.purgeDeletedStudents());
+
+		assertEquals(1, transactionManager.rollbacks);
+		assertEquals(0, transactionManager.commits);
+		assertEquals(List.of(), archives());
+	}
+
+	private List<Path> archives() throws IOException {
+		try (Stream<Path> files = Files.list(archiveDir)) {
+			return files.sorted((a, b) -> read(a).compareTo(read(b))).toList();
+		}
+	}
+
+	private static String read(Path archive) {
+		try (InputStream in = new GZIPInputStream(Files.newInputStream(archive))) {
+			return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Transaction manager without a resource that only counts outcomes, so
+	 * the service's transaction synchronizations run as they would for real.
+	 */
+	private static final class RecordingTransactionManager extends AbstractPlatformTransactionManager {
+
+		private int commits;
+
+		private int rollbacks;
+
+		@Override
+		protected Object doGetTransaction() {
+			return new Object();
+		}
+
+		@Override
+		protected void doBegin(Object transaction, TransactionDefinition definition) {
+		}
+
+		@Override
+		protected void doCommit(DefaultTransactionStatus status) {
+			commits++;
+		}
+
+		@Override
+		protected void doRollback(DefaultTransactionStatus status) {
+			rollbacks++;
+		}
+	}
+}